@@ -1,14 +1,27 @@
 package com.example.calculator.factory;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeDriverService;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.remote.service.DriverService;
 
 public class WebDriverFactory {
+	// Driver service process (chromedriver, geckodriver, msedgedriver) of each session; the browser runs under it
+	private static final Map<WebDriver, ProcessHandle> driverProcesses = Collections.synchronizedMap(new WeakHashMap<>());
+
 	public static WebDriver loadDriver(String browser, boolean headless) {
 		switch (browser.toLowerCase()) {
 			case "chrome": {
@@ -21,7 +34,8 @@ public class WebDriverFactory {
                     opts.addArguments("--no-sandbox");
                 }
                 
-				return new ChromeDriver(opts);
+                ChromeDriverService service = ChromeDriverService.createDefaultService();
+				return track(new ChromeDriver(service, opts), service);
 			}
 			case "firefox": {
                 FirefoxOptions opts = new FirefoxOptions();
@@ -32,7 +46,8 @@ public class WebDriverFactory {
                     opts.addArguments("--height=1080");
                 }
                 
-                return new FirefoxDriver(opts);
+                GeckoDriverService service = GeckoDriverService.createDefaultService();
+                return track(new FirefoxDriver(service, opts), service);
 			}
 			case "edge": {
                 EdgeOptions opts = new EdgeOptions();
@@ -42,10 +57,45 @@ public class WebDriverFactory {
                     opts.addArguments("--window-size=1920,1080");
                 }
                 
-                return new EdgeDriver(opts);
+                EdgeDriverService service = EdgeDriverService.createDefaultService();
+                return track(new EdgeDriver(service, opts), service);
 			}
 			default:
 				throw new IllegalArgumentException("Unsupported browser: " + browser);
 		}
 	}
+
+	/**
+	 * @return the driver service process of a session created here; the browser processes are its descendants
+	 */
+	public static Optional<ProcessHandle> getDriverProcess(WebDriver driver) {
+		return Optional.ofNullable(driverProcesses.get(driver));
+	}
+
+	/**
+	 * Forcibly kills the browser processes of a session and its driver service process,
+	 * for sessions that no longer answer {@code quit()}.
+	 *
+	 * @return true if a process tree was found and killed
+	 */
+	public static boolean killProcessTree(WebDriver driver) {
+		Optional<ProcessHandle> process = getDriverProcess(driver);
+		process.ifPresent(p -> {
+			p.descendants().forEach(ProcessHandle::destroyForcibly);
+			p.destroyForcibly();
+		});
+		return process.isPresent();
+	}
+
+	/**
+	 * Finds the service process among this JVM's children by the port it was started on.
+	 */
+	private static WebDriver track(WebDriver driver, DriverService service) {
+		String portArg = "--port=" + service.getUrl().getPort();
+		ProcessHandle.current().descendants()
+				.filter(p -> p.info().arguments().map(args -> Arrays.asList(args).contains(portArg)).orElse(false))
+				.findFirst()
+				.ifPresent(p -> driverProcesses.put(driver, p));
+		return driver;
+	}
 }
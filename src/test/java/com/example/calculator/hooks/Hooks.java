@@ -1,13 +1,19 @@
 package com.example.calculator.hooks;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.Dimension;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
 
 import com.example.calculator.factory.WebDriverFactory;
+import com.example.calculator.listener.WebDriverTraceListener;
 import com.example.calculator.utils.AllureUtil;
 import com.example.calculator.utils.ConfigReader;
+import com.example.calculator.utils.HangWatchdog;
 import com.example.calculator.utils.LoggerUtil;
+import com.example.calculator.utils.ResourceSampler;
 import com.example.calculator_manager.DriverManager;
 import com.google.common.collect.ImmutableMap;
 
@@ -15,12 +21,16 @@ import io.cucumber.java.After;
 import io.cucumber.java.AfterStep;
 import io.cucumber.java.Before;
 import io.cucumber.java.Scenario;
+import io.qameta.allure.Allure;
 
 public class Hooks {
 
-    public static WebDriver driver;
+    private WebDriver driver;
+    private volatile WebDriver session;
+    private ResourceSampler resourceSampler;
     private AllureUtil allureUtil;
     private static final Logger logger = LoggerUtil.getLogger(Hooks.class);
+    private static final AtomicBoolean allureEnvironmentWritten = new AtomicBoolean();
     private boolean isApiScenario = false;
 
     @Before
@@ -32,8 +42,9 @@ public class Hooks {
         String env = System.getProperty("env", System.getenv().getOrDefault("ENV", "dev"));
         ConfigReader.loadProperties(env);
 
-        // 2) Resolve settings
-        String browser = System.getProperty("browser",
+        // 2) Resolve settings (a browser pinned by CrossBrowserRunner wins)
+        String pinnedBrowser = DriverManager.getBrowser();
+        String browser = pinnedBrowser != null ? pinnedBrowser : System.getProperty("browser",
                 System.getenv().getOrDefault("BROWSER", ConfigReader.get("BROWSER")));
 
         boolean headless = Boolean.parseBoolean(
@@ -47,51 +58,118 @@ public class Hooks {
             throw new IllegalStateException("Base URL is not configured. Provide -DbaseUrl=... or set APP_URL.");
         }
 
-        // 3) Start driver
-        driver = WebDriverFactory.loadDriver(browser, headless);
-        if (headless) driver.manage().window().setSize(new Dimension(1920, 1080));
-        else driver.manage().window().maximize();
+        // 3) Start driver, or lease a tab of the shared session in tab fan-out mode
+        //    (watched for hangs; every WebDriver call is traced and recorded)
+        HangWatchdog.startScenario(scenario.getName(), this::killBrowser);
+        session = DriverManager.isTabPoolEnabled()
+                ? DriverManager.leaseTab(() -> startBrowser(browser, headless))
+                : startBrowser(browser, headless);
+        driver = new EventFiringDecorator<WebDriver>(new WebDriverTraceListener(), HangWatchdog.commandRecorder())
+                .decorate(session);
+
+        // 4) Sample the browser process tree's CPU/memory while the scenario runs
+        //    (a shared tab session is sampled once by DriverManager instead)
+        if (!DriverManager.isTabPoolEnabled()) {
+            long sampleInterval = Long.parseLong(ConfigReader.get("RESOURCE_SAMPLE_INTERVAL_MS", "500"));
+            resourceSampler = WebDriverFactory.getDriverProcess(session)
+                    .map(process -> ResourceSampler.start(process, sampleInterval))
+                    .orElse(null);
+        }
 
-        // 4) Navigate & stash driver
+        // 5) Navigate (this also resets a reused tab) & stash driver
         driver.get(url);
         DriverManager.setDriver(driver);
 
-        // 5) Allure env + logs
+        // 6) Allure env (once per JVM; concurrent runs would race on the file) + logs
         allureUtil = new AllureUtil(driver);
-        allureUtil.writeAllureEnvironment(
-                ImmutableMap.<String, String>builder()
-                        .put("OS", System.getProperty("os.name"))
-                        .put("Browser", browser)
-                        .put("Headless", String.valueOf(headless))
-                        .put("Environment", env)
-                        .put("BaseUrl", url)
-                        .build()
-        );
+        if (allureEnvironmentWritten.compareAndSet(false, true)) {
+            allureUtil.writeAllureEnvironment(
+                    ImmutableMap.<String, String>builder()
+                            .put("OS", System.getProperty("os.name"))
+                            .put("Browser", pinnedBrowser != null ? System.getProperty("browsers",
+                                    System.getenv().getOrDefault("BROWSERS", ConfigReader.get("BROWSERS", browser))) : browser)
+                            .put("Headless", String.valueOf(headless))
+                            .put("Environment", env)
+                            .put("BaseUrl", url)
+                            .build()
+            );
+        }
+
+        // 7) Label each cross-browser variant as its own Allure result
+        if (pinnedBrowser != null) {
+            Allure.label("browser", browser);
+            Allure.parameter("Browser", browser);
+            Allure.getLifecycle().updateTestCase(result -> result
+                    .setName(result.getName() + " [" + browser + "]")
+                    .setHistoryId(result.getHistoryId() + "-" + browser));
+        }
 
         logger.info("Starting scenario: {}", scenario.getName());
         logger.info("Config → env={}, browser={}, headless={}, baseUrl={}", env, browser, headless, url);
     }
 
+    private static WebDriver startBrowser(String browser, boolean headless) {
+        WebDriver browserDriver = WebDriverFactory.loadDriver(browser, headless);
+        if (headless) browserDriver.manage().window().setSize(new Dimension(1920, 1080));
+        else browserDriver.manage().window().maximize();
+        return browserDriver;
+    }
+
+    /**
+     * Watchdog recovery: kills the hung browser so the next scenario gets a fresh session.
+     */
+    private void killBrowser() {
+        if (session == null) return;
+        if (DriverManager.isTabPoolEnabled()) {
+            DriverManager.abandonTabPool(session);
+        } else {
+            WebDriverFactory.killProcessTree(session);
+        }
+    }
+
     @After(order = 0)
     public void tearDown() {
-        if (driver != null) {
-            driver.quit();
+        if (resourceSampler != null) {
+            Allure.addAttachment("Browser resources", "text/plain", resourceSampler.stop(), ".txt");
+        }
+        try {
+            if (DriverManager.isTabPoolEnabled()) {
+                DriverManager.releaseTab();
+                logger.info("Released the browser tab.");
+                return;
+            }
+            if (driver != null) {
+                HangWatchdog.quit(driver::quit, this::killBrowser);
+            }
+            logger.info("Closing the browser.");
+        } finally {
+            HangWatchdog.endScenario();
         }
-        logger.info("Closing the browser.");
     }
 
     @After(order = 1)
     public void captureFailure(Scenario scenario) {
-        if (isApiScenario) return;
+        if (isApiScenario || HangWatchdog.isTimedOut()) return;
 
         if (scenario.isFailed() && allureUtil != null) {
             allureUtil.captureAndAttachScreenshot();
         }
     }
 
+    @After(order = 2)
+    public void reportTimeout(Scenario scenario) {
+        // Runs first of the @After hooks; the rescue's interrupt would make the Allure writes below fail
+        if (!HangWatchdog.clearTimeoutInterrupt()) return;
+        String diagnostics = HangWatchdog.getDiagnostics();
+
+        logger.error("Scenario timed out and its browser was killed: {}", scenario.getName());
+        Allure.label("tag", "timed-out");
+        Allure.addAttachment("Watchdog diagnostics", "text/plain", diagnostics, ".txt");
+    }
+
     @AfterStep
     public void afterEachStep(Scenario scenario) {
-        if (isApiScenario) return;
+        if (isApiScenario || HangWatchdog.isTimedOut()) return;
 
         if (allureUtil != null) {
             allureUtil.captureAndAttachScreenshot();
@@ -0,0 +1,79 @@
+package com.example.calculator.listener;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.example.calculator.utils.PerformanceGate;
+import com.example.calculator_manager.DriverManager;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStepFinished;
+
+/**
+ * Cucumber event listener that collects the durations of passed scenarios and
+ * steps and hands them to the {@link PerformanceGate} when the run finishes;
+ * the gate only keeps them while {@code PerformanceRunner} collects repeated passes.
+ *
+ * A scenario's duration is the sum of its step durations; hooks (browser start,
+ * screenshots) are left out so they cannot mask or fake a regression.
+ */
+public class PerformanceListener implements ConcurrentEventListener {
+    private final Map<String, List<Long>> samples = new ConcurrentHashMap<>();
+    private final Map<UUID, Duration> stepTime = new ConcurrentHashMap<>();
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestStepFinished.class, this::onStepFinished);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onCaseFinished);
+        publisher.registerHandlerFor(TestRunFinished.class,
+                event -> PerformanceGate.addRun(samples));
+    }
+
+    private void onStepFinished(TestStepFinished event) {
+        if (event.getTestStep() instanceof PickleStepTestStep && event.getResult().getStatus() == Status.PASSED) {
+            String step = ((PickleStepTestStep) event.getTestStep()).getStep().getText();
+            Duration duration = event.getResult().getDuration();
+            add(key(event.getTestCase()) + " > " + step, duration.toMillis());
+            stepTime.merge(event.getTestCase().getId(), duration, Duration::plus);
+        }
+    }
+
+    private void onCaseFinished(TestCaseFinished event) {
+        Duration duration = stepTime.remove(event.getTestCase().getId());
+        if (event.getResult().getStatus() == Status.PASSED && duration != null) {
+            add(key(event.getTestCase()), duration.toMillis());
+        }
+    }
+
+    private void add(String key, long millis) {
+        samples.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(millis);
+    }
+
+    /**
+     * Scenario key: feature file and scenario name, prefixed with the run variant if there is one.
+     */
+    private String key(TestCase testCase) {
+        String variant = variant();
+        String feature = Paths.get(testCase.getUri().getSchemeSpecificPart()).getFileName().toString();
+        return (variant != null ? "[" + variant + "] " : "") + feature + ": " + testCase.getName();
+    }
+
+    /**
+     * @return "tabs" in tab fan-out runs, whose steps also wait for the shared session,
+     *         the browser in cross-browser runs, or null for a plain run
+     */
+    private static String variant() {
+        return DriverManager.isTabPoolEnabled() ? "tabs" : DriverManager.getBrowser();
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.calculator.listener;
+
+import com.example.calculator.utils.RunMetrics;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.TestRunFinished;
+
+/**
+ * Cucumber event listener that writes the run metrics when the run finishes.
+ */
+public class RunMetricsListener implements ConcurrentEventListener {
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestRunFinished.class, event -> RunMetrics.write());
+    }
+}
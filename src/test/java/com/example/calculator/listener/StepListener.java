@@ -1,7 +1,10 @@
 package com.example.calculator.listener;
 
+import com.example.calculator.utils.HangWatchdog;
+
 import io.cucumber.plugin.ConcurrentEventListener;
 import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.TestStepFinished;
 import io.cucumber.plugin.event.TestStepStarted;
 import io.cucumber.plugin.event.PickleStepTestStep;
 
@@ -9,7 +12,14 @@ import io.cucumber.plugin.event.PickleStepTestStep;
 * Cucumber event listener to track the current step being executed.
 */
 public class StepListener implements ConcurrentEventListener {
-    public static String currentStep;
+    private static final ThreadLocal<String> currentStep = ThreadLocal.withInitial(() -> "");
+
+    /**
+     * @return the text of the step currently running on this thread
+     */
+    public static String getCurrentStep() {
+        return currentStep.get();
+    }
 
     /**
    * Default constructor initializes currentStep to an empty string.
@@ -17,6 +27,7 @@ public class StepListener implements ConcurrentEventListener {
     @Override
     public void setEventPublisher(EventPublisher publisher) {
         publisher.registerHandlerFor(TestStepStarted.class, this::onStepStarted);
+        publisher.registerHandlerFor(TestStepFinished.class, this::onStepFinished);
     }
 
     /**
@@ -30,7 +41,20 @@ public class StepListener implements ConcurrentEventListener {
         if (event.getTestStep() instanceof PickleStepTestStep) {
             PickleStepTestStep step = (PickleStepTestStep) event.getTestStep();
             // Set currentStep to the text of the step
-            currentStep = step.getStep().getText();
+            currentStep.set(step.getStep().getText());
+            // Arm the per-step deadline for this thread's scenario
+            HangWatchdog.startStep(currentStep.get());
+        }
+    }
+
+    /**
+     * Called when a test step finishes. Disarms the per-step watchdog deadline.
+     *
+     * @param event the TestStepFinished event
+     */
+    private void onStepFinished(TestStepFinished event) {
+        if (event.getTestStep() instanceof PickleStepTestStep) {
+            HangWatchdog.endStep();
         }
     }
 
@@ -0,0 +1,112 @@
+package com.example.calculator.listener;
+
+import java.net.URI;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.example.calculator.utils.TraceUtil;
+import com.example.calculator.utils.TraceUtil.Span;
+import com.example.calculator_manager.DriverManager;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Result;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestRunStarted;
+import io.cucumber.plugin.event.TestStep;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+
+/**
+ * Cucumber event listener that opens run, feature, scenario and step spans
+ * and exports the trace to target/traces when the run finishes.
+ */
+public class TraceListener implements ConcurrentEventListener {
+    private static final String TRACE_DIR = System.getProperty("traceDir", "target/traces");
+
+    private Span run;
+    private final Map<URI, Span> features = new ConcurrentHashMap<>();
+    private final Map<URI, Long> featureEnds = new ConcurrentHashMap<>();
+    private final Map<UUID, Span> scenarios = new ConcurrentHashMap<>();
+    private final Map<UUID, Span> steps = new ConcurrentHashMap<>();
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestRunStarted.class, this::onRunStarted);
+        publisher.registerHandlerFor(TestCaseStarted.class, this::onCaseStarted);
+        publisher.registerHandlerFor(TestStepStarted.class, this::onStepStarted);
+        publisher.registerHandlerFor(TestStepFinished.class, this::onStepFinished);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onCaseFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, this::onRunFinished);
+    }
+
+    private void onRunStarted(TestRunStarted event) {
+        run = TraceUtil.startRoot("run", "run");
+        if (DriverManager.getBrowser() != null) run.attr("browser", DriverManager.getBrowser());
+    }
+
+    private void onCaseStarted(TestCaseStarted event) {
+        TestCase testCase = event.getTestCase();
+        URI uri = testCase.getUri();
+        Span feature = features.computeIfAbsent(uri, u -> TraceUtil
+                .startDetached("feature: " + Paths.get(u.getSchemeSpecificPart()).getFileName(), "feature", run)
+                .attr("uri", u.toString()));
+
+        Span scenario = TraceUtil.start("scenario: " + testCase.getName(), "scenario", feature)
+                .attr("uri", uri.toString())
+                .attr("line", testCase.getLocation().getLine())
+                .attr("tags", String.join(" ", testCase.getTags()));
+        scenarios.put(testCase.getId(), scenario);
+    }
+
+    private void onStepStarted(TestStepStarted event) {
+        Span scenario = scenarios.get(event.getTestCase().getId());
+        TestStep testStep = event.getTestStep();
+
+        Span step;
+        if (testStep instanceof PickleStepTestStep) {
+            PickleStepTestStep pickleStep = (PickleStepTestStep) testStep;
+            step = TraceUtil.start("step: " + pickleStep.getStep().getText(), "step", scenario)
+                    .attr("keyword", pickleStep.getStep().getKeyword().trim())
+                    .attr("line", pickleStep.getStep().getLine());
+        } else if (testStep instanceof HookTestStep) {
+            step = TraceUtil.start("hook: " + ((HookTestStep) testStep).getHookType(), "hook", scenario);
+        } else {
+            step = TraceUtil.start("step", "step", scenario);
+        }
+        steps.put(testStep.getId(), step.attr("code.location", testStep.getCodeLocation()));
+    }
+
+    private void onStepFinished(TestStepFinished event) {
+        Span step = steps.remove(event.getTestStep().getId());
+        if (step != null) finish(step, event.getResult());
+    }
+
+    private void onCaseFinished(TestCaseFinished event) {
+        Span scenario = scenarios.remove(event.getTestCase().getId());
+        if (scenario != null) finish(scenario, event.getResult());
+        featureEnds.merge(event.getTestCase().getUri(), TraceUtil.now(), Math::max);
+    }
+
+    private void onRunFinished(TestRunFinished event) {
+        if (run == null) return;
+        features.forEach((uri, feature) -> feature.endAt(featureEnds.getOrDefault(uri, TraceUtil.now())));
+        finish(run, event.getResult());
+
+        String browser = DriverManager.getBrowser();
+        TraceUtil.export(run.getTraceId(), TRACE_DIR, browser != null ? "trace-" + browser : "trace");
+    }
+
+    private void finish(Span span, Result result) {
+        span.attr("status", result.getStatus().name());
+        if (result.getError() != null) span.error(result.getError());
+        span.end();
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.calculator.listener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import com.example.calculator.utils.TraceUtil;
+import com.example.calculator.utils.TraceUtil.Span;
+
+/**
+ * Selenium listener that records every WebDriver, WebElement and navigation
+ * call as a span under whatever step, action or wait issued it.
+ */
+public class WebDriverTraceListener implements WebDriverListener {
+    private static final int MAX_ARGS_LENGTH = 200;
+
+    private final ThreadLocal<Deque<Span>> calls = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        Span span = TraceUtil.start("webdriver: " + method.getName(), "webdriver")
+                .attr("target", target.getClass().getSimpleName());
+        if (args != null && args.length > 0) {
+            String summary = Arrays.toString(args);
+            span.attr("args", summary.length() > MAX_ARGS_LENGTH ? summary.substring(0, MAX_ARGS_LENGTH) + "…" : summary);
+        }
+        calls.get().push(span);
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        Span span = calls.get().poll();
+        if (span != null) span.end();
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        Span span = calls.get().poll();
+        if (span != null) span.error(e.getCause() != null ? e.getCause() : e).end();
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.calculator.testrunner;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.Logger;
+import org.junit.Test;
+
+import com.example.calculator.utils.ConfigReader;
+import com.example.calculator.utils.LoggerUtil;
+import com.example.calculator.utils.RunMetrics;
+import com.example.calculator_manager.DriverManager;
+
+import io.cucumber.core.cli.Main;
+
+/**
+ * Runs the whole suite once per configured browser, all browsers at the same time.
+ * Each browser gets its own thread and its own Cucumber runtime; the browser is pinned
+ * to that thread through {@link DriverManager} so {@code Hooks} starts the right driver.
+ *
+ * Enable with {@code mvn test -Pcross-browser -Dbrowsers=chrome,firefox}
+ * (falls back to the BROWSERS env variable, then to BROWSERS in the env config file).
+ */
+public class CrossBrowserRunner {
+
+	private static final Logger logger = LoggerUtil.getLogger(CrossBrowserRunner.class);
+	private static final String TIMINGS_FILE = "target/cross-browser-timings.txt";
+
+	@Test
+	public void runAllBrowsers() throws InterruptedException {
+		String env = System.getProperty("env", System.getenv().getOrDefault("ENV", "dev"));
+		ConfigReader.loadProperties(env);
+
+		List<String> browsers = Arrays.stream(System.getProperty("browsers",
+				System.getenv().getOrDefault("BROWSERS", ConfigReader.get("BROWSERS", "chrome"))).split(","))
+				.map(String::trim)
+				.filter(b -> !b.isEmpty())
+				.distinct()
+				.collect(Collectors.toList());
+
+		if (browsers.isEmpty()) {
+			throw new IllegalStateException("No browsers configured. Provide -Dbrowsers=chrome,firefox or set BROWSERS.");
+		}
+		logger.info("Cross-browser run on: {}", browsers);
+
+		ExecutorService pool = Executors.newFixedThreadPool(browsers.size());
+		Map<String, Future<BrowserRun>> runs = new LinkedHashMap<>();
+		long start = System.nanoTime();
+		try {
+			for (String browser : browsers) {
+				runs.put(browser, pool.submit(() -> runBrowser(browser)));
+			}
+
+			List<BrowserRun> results = new ArrayList<>();
+			for (Map.Entry<String, Future<BrowserRun>> entry : runs.entrySet()) {
+				try {
+					results.add(entry.getValue().get());
+				} catch (ExecutionException e) {
+					logger.error("Cross-browser run crashed for " + entry.getKey(), e.getCause());
+					results.add(new BrowserRun(entry.getKey(), (byte) 1, 0));
+				}
+			}
+
+			long wallMillis = (System.nanoTime() - start) / 1_000_000;
+			writeTimings(results, wallMillis);
+			// Each browser's runtime wrote the metrics when it finished; this write covers all of them
+			RunMetrics.write();
+
+			List<String> failed = results.stream()
+					.filter(r -> r.exitStatus != 0)
+					.map(r -> r.browser)
+					.collect(Collectors.toList());
+			assertTrue("Cucumber run failed on: " + failed, failed.isEmpty());
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private BrowserRun runBrowser(String browser) {
+		Thread.currentThread().setName("cross-browser-" + browser);
+		DriverManager.setBrowser(browser);
+		long start = System.nanoTime();
+		try {
+			// Features, glue and plugins come from cucumber.properties, shared with TestRunner
+			byte status = Main.run(new String[0], Thread.currentThread().getContextClassLoader());
+			return new BrowserRun(browser, status, (System.nanoTime() - start) / 1_000_000);
+		} finally {
+			DriverManager.clear();
+		}
+	}
+
+	/**
+	 * Logs and writes the per-browser wall time next to the total, so the overlap is visible.
+	 */
+	private void writeTimings(List<BrowserRun> results, long wallMillis) {
+		long sumMillis = results.stream().mapToLong(r -> r.millis).sum();
+		long slowest = results.stream().mapToLong(r -> r.millis).max().orElse(0);
+
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format("%-10s %10s %8s%n", "browser", "millis", "status"));
+		for (BrowserRun r : results) {
+			sb.append(String.format("%-10s %10d %8s%n", r.browser, r.millis, r.exitStatus == 0 ? "passed" : "failed"));
+		}
+		sb.append(String.format("wall=%dms slowest=%dms sequential-sum=%dms%n", wallMillis, slowest, sumMillis));
+
+		logger.info("Cross-browser timings:\n{}", sb);
+		System.out.print(sb);
+
+		File file = new File(TIMINGS_FILE);
+		file.getParentFile().mkdirs();
+		try (FileWriter writer = new FileWriter(file)) {
+			writer.write(sb.toString());
+		} catch (IOException e) {
+			logger.error("Failed to write cross-browser timings", e);
+		}
+	}
+
+	private static class BrowserRun {
+		final String browser;
+		final byte exitStatus;
+		final long millis;
+
+		BrowserRun(String browser, byte exitStatus, long millis) {
+			this.browser = browser;
+			this.exitStatus = exitStatus;
+			this.millis = millis;
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package com.example.calculator.testrunner;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.Logger;
+import org.junit.Test;
+
+import com.example.calculator.utils.ConfigReader;
+import com.example.calculator.utils.LoggerUtil;
+import com.example.calculator.utils.PerformanceGate;
+
+import io.cucumber.core.cli.Main;
+
+/**
+ * Runs the suite several times in a row and hands every pass's scenario and step
+ * durations to the {@link PerformanceGate} as one distribution per key, so the gate
+ * judges this run alone against the committed baseline.
+ *
+ * Enable with {@code mvn test -Pperformance -DperfRepeats=5}
+ * (falls back to the PERF_REPEATS env variable, then to PERF_REPEATS in the env config file).
+ * Narrow the timed scenarios with {@code -Dcucumber.filter.tags=...}.
+ */
+public class PerformanceRunner {
+
+	private static final Logger logger = LoggerUtil.getLogger(PerformanceRunner.class);
+
+	@Test
+	public void runRepeated() {
+		String env = System.getProperty("env", System.getenv().getOrDefault("ENV", "dev"));
+		ConfigReader.loadProperties(env);
+
+		int repeats = Integer.parseInt(System.getProperty("perfRepeats",
+				System.getenv().getOrDefault("PERF_REPEATS", ConfigReader.get("PERF_REPEATS", "5"))));
+		if (repeats < 1) {
+			throw new IllegalStateException("PERF_REPEATS must be at least 1, was " + repeats);
+		}
+		logger.info("Performance run: {} passes", repeats);
+
+		List<Integer> failedPasses = new ArrayList<>();
+		PerformanceGate.startCollecting();
+		try {
+			for (int pass = 1; pass <= repeats; pass++) {
+				long start = System.nanoTime();
+				// Features, glue and plugins come from cucumber.properties, shared with TestRunner
+				byte status = Main.run(new String[0], Thread.currentThread().getContextClassLoader());
+				logger.info("Performance pass {}/{} finished in {} ms", pass, repeats, (System.nanoTime() - start) / 1_000_000);
+				if (status != 0) failedPasses.add(pass);
+			}
+		} finally {
+			// Failed scenarios add no samples, so the passes that did succeed are still judged
+			PerformanceGate.evaluateCollected();
+		}
+		assertTrue("Cucumber run failed in passes: " + failedPasses, failedPasses.isEmpty());
+	}
+}
@@ -0,0 +1,82 @@
+package com.example.calculator.testrunner;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+import org.apache.logging.log4j.Logger;
+import org.junit.Test;
+
+import com.example.calculator.utils.ConfigReader;
+import com.example.calculator.utils.LoggerUtil;
+import com.example.calculator.utils.RunMetrics;
+import com.example.calculator_manager.DriverManager;
+
+import io.cucumber.core.cli.Main;
+
+/**
+ * Runs independent scenarios (by default the @UNIT outline rows) on several threads
+ * that share one browser session, one tab per thread, instead of one browser per thread.
+ *
+ * Enable with {@code mvn test -Ptab-fanout -Dtabs=4}
+ * (falls back to the TABS env variable, then to TABS in the env config file).
+ * Compare the wall time in target/tab-fanout-timings.txt with a serial run of the
+ * same tags ({@code mvn test -Dcucumber.filter.tags=@UNIT}).
+ */
+public class TabFanOutRunner {
+
+	private static final Logger logger = LoggerUtil.getLogger(TabFanOutRunner.class);
+	private static final String TIMINGS_FILE = "target/tab-fanout-timings.txt";
+
+	@Test
+	public void runInTabs() {
+		String env = System.getProperty("env", System.getenv().getOrDefault("ENV", "dev"));
+		ConfigReader.loadProperties(env);
+
+		int tabs = Integer.parseInt(System.getProperty("tabs",
+				System.getenv().getOrDefault("TABS", ConfigReader.get("TABS", "4"))));
+		String tags = System.getProperty("cucumber.filter.tags", "@UNIT");
+
+		logger.info("Tab fan-out run: tabs={}, tags={}", tabs, tags);
+
+		DriverManager.enableTabPool(tabs);
+		long start = System.nanoTime();
+		try {
+			// Features, glue and plugins come from cucumber.properties, shared with TestRunner
+			byte status = Main.run(new String[] {
+					"--threads", String.valueOf(tabs),
+					"--tags", tags
+			}, Thread.currentThread().getContextClassLoader());
+
+			writeTimings(tabs, tags, (System.nanoTime() - start) / 1_000_000);
+			assertEquals("Cucumber run failed", 0, status);
+		} finally {
+			DriverManager.closeTabPool();
+			// Rewritten so the shared session's resource totals, recorded on close, are included
+			RunMetrics.write();
+		}
+	}
+
+	/**
+	 * Logs and writes the wall time with the share of commands that had to switch windows first.
+	 */
+	private void writeTimings(int tabs, String tags, long wallMillis) {
+		long commands = RunMetrics.get("tabs.commands");
+		long switches = RunMetrics.get("tabs.window.switches");
+		String timings = String.format("tabs=%d tags=%s wall=%dms commands=%d window-switches=%d (%.0f%%)%n",
+				tabs, tags, wallMillis, commands, switches, commands > 0 ? switches * 100.0 / commands : 0.0);
+
+		logger.info("Tab fan-out run finished: {}", timings.trim());
+		System.out.print(timings);
+
+		File file = new File(TIMINGS_FILE);
+		file.getParentFile().mkdirs();
+		try (FileWriter writer = new FileWriter(file)) {
+			writer.write(timings);
+		} catch (IOException e) {
+			logger.error("Failed to write tab fan-out timings", e);
+		}
+	}
+}
@@ -4,12 +4,12 @@ import org.junit.runner.RunWith;
 import io.cucumber.junit.Cucumber; 
 import io.cucumber.junit.CucumberOptions;
 
+// Plugins come from src/test/resources/cucumber.properties. Features and glue stay
+// here: left empty, @CucumberOptions defaults both to this runner's own package.
 @RunWith(Cucumber.class)
 @CucumberOptions(
 	    features = "src/test/resources/features/",
-	    glue = {"com.example.calculator.stepdefinitions", "com.example.calculator.hooks", "example.cheq.calculator.listener"},
-	    plugin = {"pretty", "io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm", "com.example.calculator.listener.StepListener"},
-	    monochrome = true
+	    glue = {"com.example.calculator.stepdefinitions", "com.example.calculator.hooks"}
 //		tags="@UI"
 )
 public class TestRunner {}
@@ -32,7 +32,7 @@ public class AllureUtil {
 	 */
 	public void attachText(String message) {
 	    // Update the current step name in Allure report
-	    Allure.getLifecycle().updateStep(s -> s.setName("📄 " + StepListener.currentStep));
+	    Allure.getLifecycle().updateStep(s -> s.setName("📄 " + StepListener.getCurrentStep()));
 	    // Attach the text as a .txt file
 	    Allure.addAttachment("Sample Text", "text/plain", new ByteArrayInputStream(
 	            message.getBytes(StandardCharsets.UTF_8)), ".txt");
@@ -43,7 +43,7 @@ public class AllureUtil {
 	 */
 	public void captureAndAttachScreenshot() {
 	    byte[] screenshotBytes = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
-	    Allure.getLifecycle().updateStep(s -> s.setName("📸 " + StepListener.currentStep)); // override name
+	    Allure.getLifecycle().updateStep(s -> s.setName("📸 " + StepListener.getCurrentStep())); // override name
 	    // Attach the screenshot as a .png file
 	    Allure.addAttachment("Screenshot", "image/png", new ByteArrayInputStream(screenshotBytes), ".png");
 	}
@@ -8,7 +8,7 @@ public class ConfigReader {
 	private static final Properties properties = new Properties();
     private static boolean loaded = false;
 	
-	public static void loadProperties(String env) {
+	public static synchronized void loadProperties(String env) {
 //		try {
 //			FileInputStream fis = new FileInputStream("src/test/resources/config/" + env + ".properties");
 //			properties.load(fis);
@@ -29,12 +29,16 @@ public class ElementActionUtils {
 	}
 	
 	public WebElement findElement(By locator) {
+        TraceUtil.Span span = TraceUtil.start("action: find", "action").attr("locator", locator.toString());
         try {
             WebElement element = waitUtil.waitForElementVisible(locator, visibilityTimeout);
             return element;
         } catch (Exception e) {
+			span.error(e);
 			logger.error("Failed to find on element: " + locator.toString());
 			throw e;
+        } finally {
+        	span.end();
         }
 	}
 	
@@ -45,24 +49,32 @@ public class ElementActionUtils {
      * @param locator The {@link By} locator of the element to be clicked.
      */
 	public void clickElement(By locator) {
+		TraceUtil.Span span = TraceUtil.start("action: click", "action").attr("locator", locator.toString());
 		try {
 			WebElement element = waitUtil.waitForElementClickable(locator, clickabilityTimeout);
 			element.click();
 			logger.info("Clicked on element: " + locator.toString());		
 		} catch (Exception e ) {
+			span.error(e);
 			logger.error("Failed to click on element: " + locator.toString());
 			throw e;
+		} finally {
+			span.end();
 		}
 	}
 	
 	public void clickElementByFluentWait(By locator) {
+		TraceUtil.Span span = TraceUtil.start("action: click (fluent)", "action").attr("locator", locator.toString());
 		try {
 			WebElement element = waitUtil.fluentWait(locator, fluentTimeout, pollingTime);
 			element.click();
 			logger.info("Clicked on element (using FluentWait): " + locator.toString());
 		} catch (Exception e ) {
+			span.error(e);
 			logger.error("Failed to click on element (using FluentWait): " + locator.toString());
 			throw e;
+		} finally {
+			span.end();
 		}
 	}
 	
@@ -74,18 +86,23 @@ public class ElementActionUtils {
      * @param text The text to be entered into the element.
      */
 	public void inputElement(By locator, String text) {
+		TraceUtil.Span span = TraceUtil.start("action: input", "action").attr("locator", locator.toString());
 		try {
 			WebElement element = waitUtil.waitForElementVisible(locator, visibilityTimeout);
 			element.clear();
 			element.sendKeys(text);
 			logger.info("Entered text in element: " + locator.toString() + " - Text: " + text);
 		} catch (Exception e) {
+			span.error(e);
 			logger.error("Failed to enter text in element: " + locator.toString() + " - Text: " + text);
 			throw e;
+		} finally {
+			span.end();
 		}
 	}
 	
 	public void selectDropdown(By locator, String text) {
+		TraceUtil.Span span = TraceUtil.start("action: select", "action").attr("locator", locator.toString()).attr("text", text);
 		try {
 			WebElement element = waitUtil.waitForElementVisible(locator, visibilityTimeout);
 			
@@ -93,8 +110,11 @@ public class ElementActionUtils {
 		    select.selectByValue(text);
 			logger.info("Select in the dropdown: " + locator.toString() + " - Text: " + text);
 		} catch (Exception e) {
+			span.error(e);
 			logger.error("Failed to enter text in element: " + locator.toString() + " - Text: " + text);
 			throw e;
+		} finally {
+			span.end();
 		}
 	}
 	
@@ -105,13 +125,17 @@ public class ElementActionUtils {
      * @param locator The By locator of the element to verify.
      */
 	public void verifyDisplayed(By locator) {
+		TraceUtil.Span span = TraceUtil.start("action: verify displayed", "action").attr("locator", locator.toString());
 		try {
 			WebElement element = waitUtil.waitForElementVisible(locator, visibilityTimeout);
 			element.isDisplayed();
 			logger.info("Element is displayed: " + locator.toString());
 		} catch (Exception e) {
+			span.error(e);
 			logger.error("Element is not displayed: " + locator.toString());
 			throw e;
+		} finally {
+			span.end();
 		}
 	}
 	
@@ -132,6 +156,7 @@ public class ElementActionUtils {
      * @throws AssertionError if the actual text does not match the expected text.
      */
 	public void getTextAndCompare(By locator, String expectedText) {
+		TraceUtil.Span span = TraceUtil.start("action: compare text", "action").attr("locator", locator.toString());
 		try {
 			WebElement element = waitUtil.waitForElementVisible(locator, visibilityTimeout);
 			
@@ -142,9 +167,15 @@ public class ElementActionUtils {
 				logger.info("Text does not match expected. Found: " + element.getText() + ", Expected: " + expectedText);
 				throw new AssertionError("Text does not match expected.");
 			}
+		} catch (AssertionError e) {
+			span.error(e);
+			throw e;
 		} catch (Exception e) {
+			span.error(e);
 			logger.error("Failed to get text or compare: " + locator.toString());
 			throw e;
+		} finally {
+			span.end();
 		}
 	}
 	
@@ -157,6 +188,7 @@ public class ElementActionUtils {
      * @return the attribute value, or null if unable to retrieve
      */
     public void getTextByAttributeAndCompare(By locator, String attribute, String expectedText) {
+        TraceUtil.Span span = TraceUtil.start("action: compare attribute", "action").attr("locator", locator.toString()).attr("attribute", attribute);
         try {
             WebElement element = waitUtil.waitForElementVisible(locator, visibilityTimeout);
             String attributeText = element.getDomAttribute(attribute);
@@ -168,9 +200,15 @@ public class ElementActionUtils {
  				logger.info("Text does not match expected. Found: " + attributeText + ", Expected: " + expectedText);
  				throw new AssertionError("Text does not match expected.");
  			}
+        } catch (AssertionError e) {
+        	span.error(e);
+        	throw e;
         } catch (Exception e) {
+        	span.error(e);
         	logger.error("Unable to get attribute '" + attribute + "' from element: " + locator.toString() + ". Reason: " + e.getMessage());
         	throw e;
+        } finally {
+        	span.end();
         }
     }	
 }
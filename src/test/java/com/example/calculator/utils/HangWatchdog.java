@@ -0,0 +1,265 @@
+package com.example.calculator.utils;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.Date;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+/**
+ * Watches every running scenario for per-step and per-scenario deadlines. When one
+ * is missed it writes diagnostics (thread dump, last WebDriver commands) to
+ * target/watchdog, runs the scenario's recovery action (which kills the browser
+ * process tree) and interrupts the stuck thread so the scenario fails instead of hanging.
+ *
+ * Deadlines, in seconds, come from WATCHDOG_STEP_TIMEOUT, WATCHDOG_SCENARIO_TIMEOUT
+ * and WATCHDOG_QUIT_TIMEOUT; 0 disables a deadline.
+ */
+public class HangWatchdog {
+
+	private static final Logger logger = LoggerUtil.getLogger(HangWatchdog.class);
+	private static final String DIAGNOSTICS_DIR = "target/watchdog";
+	private static final int LAST_COMMANDS = 20;
+
+	private static final Map<Thread, Watch> watches = new ConcurrentHashMap<>();
+	private static ScheduledExecutorService checker;
+
+	/**
+	 * Starts watching the calling thread's scenario against the scenario deadline.
+	 *
+	 * @param recovery kills the scenario's browser; run if a deadline is missed
+	 */
+	public static void startScenario(String scenarioName, Runnable recovery) {
+		ensureChecker();
+		long timeout = seconds("WATCHDOG_SCENARIO_TIMEOUT", 180);
+		Watch watch = new Watch(Thread.currentThread(), scenarioName, recovery);
+		watch.scenarioDeadline = timeout > 0 ? System.nanoTime() + TimeUnit.SECONDS.toNanos(timeout) : 0;
+		watches.put(watch.thread, watch);
+	}
+
+	public static void startStep(String stepText) {
+		Watch watch = watches.get(Thread.currentThread());
+		if (watch == null) return;
+		long timeout = seconds("WATCHDOG_STEP_TIMEOUT", 60);
+		watch.step = stepText;
+		watch.stepDeadline = timeout > 0 ? System.nanoTime() + TimeUnit.SECONDS.toNanos(timeout) : 0;
+	}
+
+	public static void endStep() {
+		Watch watch = watches.get(Thread.currentThread());
+		if (watch != null) watch.stepDeadline = 0;
+	}
+
+	/**
+	 * @return true if the calling thread's scenario missed a deadline and its browser was killed
+	 */
+	public static boolean isTimedOut() {
+		Watch watch = watches.get(Thread.currentThread());
+		return watch != null && watch.diagnostics != null;
+	}
+
+	/**
+	 * @return the diagnostics captured for the calling thread's scenario, or null if it did not time out
+	 */
+	public static String getDiagnostics() {
+		Watch watch = watches.get(Thread.currentThread());
+		return watch != null ? watch.diagnostics : null;
+	}
+
+	/**
+	 * Clears the interrupt a rescue left on the calling thread, waiting for a rescue still
+	 * in progress. Call it before teardown I/O: Allure writes attachments through an
+	 * interruptible channel, which fails on an interrupted thread.
+	 *
+	 * @return true if the calling thread's scenario timed out
+	 */
+	public static boolean clearTimeoutInterrupt() {
+		Watch watch = watches.get(Thread.currentThread());
+		if (watch == null) return false;
+		synchronized (watch) {
+			if (watch.diagnostics == null) return false;
+			Thread.interrupted();
+			return true;
+		}
+	}
+
+	/**
+	 * Stops watching the calling thread and clears an interrupt the watchdog may have left behind.
+	 * Waits for a rescue in progress, so no interrupt can reach the thread's next scenario.
+	 */
+	public static void endScenario() {
+		Watch watch = watches.get(Thread.currentThread());
+		if (watch == null) return;
+		synchronized (watch) {
+			watches.remove(watch.thread, watch);
+			if (watch.diagnostics != null) Thread.interrupted();
+		}
+	}
+
+	/**
+	 * Runs {@code quit} with the quit deadline; if it does not return in time the
+	 * recovery action is run instead so teardown cannot hang the run.
+	 */
+	public static void quit(Runnable quit, Runnable recovery) {
+		long timeout = seconds("WATCHDOG_QUIT_TIMEOUT", 15);
+		FutureTask<Void> task = new FutureTask<>(quit, null);
+		Thread quitter = new Thread(task, Thread.currentThread().getName() + "-quit");
+		quitter.setDaemon(true);
+		quitter.start();
+		try {
+			if (timeout > 0) task.get(timeout, TimeUnit.SECONDS);
+			else task.get();
+		} catch (TimeoutException e) {
+			logger.error("driver.quit() did not return within {}s, killing the browser", timeout);
+			RunMetrics.increment("watchdog.quit.rescued");
+			recovery.run();
+			quitter.interrupt();
+		} catch (ExecutionException e) {
+			logger.warn("driver.quit() failed: " + e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * @return a WebDriver listener that remembers the last commands issued by each watched thread
+	 */
+	public static WebDriverListener commandRecorder() {
+		return new WebDriverListener() {
+			@Override
+			public void beforeAnyCall(Object target, Method method, Object[] args) {
+				Watch watch = watches.get(Thread.currentThread());
+				if (watch != null) watch.record("→ " + target.getClass().getSimpleName() + "." + method.getName());
+			}
+
+			@Override
+			public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+				Watch watch = watches.get(Thread.currentThread());
+				if (watch != null) watch.record("✗ " + method.getName() + ": " + e.getCause());
+			}
+		};
+	}
+
+	private static synchronized void ensureChecker() {
+		if (checker != null) return;
+		checker = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "hang-watchdog");
+			t.setDaemon(true);
+			return t;
+		});
+		checker.scheduleWithFixedDelay(HangWatchdog::check, 1, 1, TimeUnit.SECONDS);
+	}
+
+	private static void check() {
+		long now = System.nanoTime();
+		for (Watch watch : watches.values()) {
+			if (watch.diagnostics != null) continue;
+			try {
+				if (watch.stepDeadline != 0 && now - watch.stepDeadline > 0) {
+					rescue(watch, "step deadline missed", "watchdog.step.rescued");
+				} else if (watch.scenarioDeadline != 0 && now - watch.scenarioDeadline > 0) {
+					rescue(watch, "scenario deadline missed", "watchdog.scenario.rescued");
+				}
+			} catch (RuntimeException e) {
+				logger.error("Watchdog failed to rescue scenario: " + watch.scenarioName, e);
+			}
+		}
+	}
+
+	/**
+	 * Holds the watch's lock throughout, so the scenario cannot end between the
+	 * check and the interrupt; a watch already ended by its thread is left alone.
+	 */
+	private static void rescue(Watch watch, String reason, String metric) {
+		synchronized (watch) {
+			if (watches.get(watch.thread) != watch || watch.diagnostics != null) return;
+
+			watch.diagnostics = diagnostics(watch, reason);
+			logger.error("Watchdog: {} in scenario '{}' (step: {}), killing the browser", reason, watch.scenarioName, watch.step);
+			writeDiagnostics(watch);
+			RunMetrics.increment(metric);
+
+			watch.recovery.run();
+			watch.thread.interrupt();
+		}
+	}
+
+	private static String diagnostics(Watch watch, String reason) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("Reason: ").append(reason).append('\n');
+		sb.append("Scenario: ").append(watch.scenarioName).append('\n');
+		sb.append("Step: ").append(watch.step).append('\n');
+		sb.append("Thread: ").append(watch.thread.getName()).append("\n\n");
+
+		sb.append("Last WebDriver commands:\n");
+		synchronized (watch.commands) {
+			watch.commands.forEach(c -> sb.append("  ").append(c).append('\n'));
+		}
+
+		sb.append("\nThread dump:\n");
+		for (Map.Entry<Thread, StackTraceElement[]> entry : Thread.getAllStackTraces().entrySet()) {
+			Thread t = entry.getKey();
+			sb.append('"').append(t.getName()).append("\" ").append(t.getState()).append('\n');
+			for (StackTraceElement frame : entry.getValue()) {
+				sb.append("    at ").append(frame).append('\n');
+			}
+			sb.append('\n');
+		}
+		return sb.toString();
+	}
+
+	private static void writeDiagnostics(Watch watch) {
+		String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+		String safeName = watch.scenarioName.replaceAll("[^A-Za-z0-9._-]+", "_");
+		File file = new File(DIAGNOSTICS_DIR, timestamp + "_" + safeName + ".txt");
+		file.getParentFile().mkdirs();
+		try (FileWriter writer = new FileWriter(file)) {
+			writer.write(watch.diagnostics);
+		} catch (IOException e) {
+			logger.error("Failed to write watchdog diagnostics", e);
+		}
+	}
+
+	private static long seconds(String key, long defaultValue) {
+		return Long.parseLong(ConfigReader.get(key, String.valueOf(defaultValue)));
+	}
+
+	private static class Watch {
+		final Thread thread;
+		final String scenarioName;
+		final Runnable recovery;
+		final Deque<String> commands = new ArrayDeque<>();
+		volatile long scenarioDeadline;
+		volatile long stepDeadline;
+		volatile String step;
+		volatile String diagnostics;
+
+		Watch(Thread thread, String scenarioName, Runnable recovery) {
+			this.thread = thread;
+			this.scenarioName = scenarioName;
+			this.recovery = recovery;
+		}
+
+		void record(String command) {
+			synchronized (commands) {
+				if (commands.size() == LAST_COMMANDS) commands.removeFirst();
+				commands.addLast(String.format("%tT.%<tL %s", new Date(), command));
+			}
+		}
+	}
+}
@@ -0,0 +1,254 @@
+package com.example.calculator.utils;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Label;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StatusDetails;
+import io.qameta.allure.model.TestResult;
+
+/**
+ * Compares the scenario and step durations of a performance run against the duration
+ * distributions stored in src/test/resources/performance/baseline.json.
+ *
+ * One pass over the suite gives about one sample per key, so the gate only judges
+ * runs of {@code PerformanceRunner}, which repeats the suite PERF_REPEATS times and
+ * collects every pass here between {@link #startCollecting()} and {@link #evaluateCollected()}.
+ * Ordinary runs are not judged.
+ *
+ * A key regresses when its p95 is more than PERF_TOLERANCE (0.20 = 20%) slower than
+ * its baseline p95 and by at least PERF_MIN_DELTA_MS, so jitter on very fast steps is
+ * ignored, and at least PERF_MIN_SLOW_SAMPLES samples are that slow, so one outlier
+ * cannot fail the gate. Keys need PERF_MIN_BASELINE_SAMPLES recorded samples and
+ * PERF_MIN_SAMPLES samples in the run to be checked; otherwise they are reported as
+ * no-base or too-few and, if no key could be checked, the verdict is INCONCLUSIVE.
+ *
+ * Modes (-DperfBaseline, PERF_BASELINE env, or PERF_BASELINE in the env config file):
+ * {@code compare} (default), {@code record} to append the run's samples to the
+ * baseline (run it on a reference agent, then commit the file), or {@code off}.
+ */
+public class PerformanceGate {
+
+	private static final Logger logger = LoggerUtil.getLogger(PerformanceGate.class);
+	private static final String BASELINE_FILE = "src/test/resources/performance/baseline.json";
+	private static final String REPORT_DIR = "target/performance";
+
+	public enum Verdict { PASSED, FAILED, INCONCLUSIVE }
+
+	private static final Map<String, List<Long>> collected = new ConcurrentHashMap<>();
+	private static volatile boolean collecting;
+
+	/**
+	 * Starts collecting the samples of the following Cucumber runs into one distribution per key.
+	 */
+	public static void startCollecting() {
+		collected.clear();
+		collecting = true;
+	}
+
+	/**
+	 * Adds one Cucumber run's samples, keyed by scenario or "scenario > step".
+	 * Ignored outside {@link #startCollecting()}, since a single pass is too few samples to judge.
+	 *
+	 * @param samples duration samples in milliseconds per key
+	 */
+	public static void addRun(Map<String, List<Long>> samples) {
+		if (!collecting) return;
+		samples.forEach((key, values) -> collected.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).addAll(values));
+	}
+
+	/**
+	 * Stops collecting and records or compares everything collected since {@link #startCollecting()}.
+	 */
+	public static void evaluateCollected() {
+		collecting = false;
+		Map<String, List<Long>> samples = new TreeMap<>(collected);
+		collected.clear();
+
+		String mode = System.getProperty("perfBaseline",
+				System.getenv().getOrDefault("PERF_BASELINE", ConfigReader.get("PERF_BASELINE", "compare")));
+
+		if (mode.equalsIgnoreCase("off") || samples.isEmpty()) return;
+		if (mode.equalsIgnoreCase("record")) {
+			record(samples);
+		} else {
+			compare(samples);
+		}
+	}
+
+	private static synchronized void record(Map<String, List<Long>> samples) {
+		int maxSamples = Integer.parseInt(ConfigReader.get("PERF_MAX_BASELINE_SAMPLES", "30"));
+		Map<String, Distribution> baseline = loadBaseline();
+
+		samples.forEach((key, values) -> {
+			Distribution distribution = baseline.computeIfAbsent(key, k -> new Distribution());
+			distribution.samples.addAll(values);
+			// Keep the most recent samples so the baseline follows intended changes
+			while (distribution.samples.size() > maxSamples) distribution.samples.remove(0);
+			distribution.p50 = percentile(distribution.samples, 0.50);
+			distribution.p95 = percentile(distribution.samples, 0.95);
+		});
+
+		File file = new File(BASELINE_FILE);
+		file.getParentFile().mkdirs();
+		try {
+			new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, baseline);
+			logger.info("Recorded {} keys into performance baseline {}", samples.size(), BASELINE_FILE);
+		} catch (IOException e) {
+			logger.error("Failed to write performance baseline", e);
+		}
+	}
+
+	private static void compare(Map<String, List<Long>> samples) {
+		double tolerance = Double.parseDouble(ConfigReader.get("PERF_TOLERANCE", "0.20"));
+		long minDelta = Long.parseLong(ConfigReader.get("PERF_MIN_DELTA_MS", "100"));
+		int minBaselineSamples = Integer.parseInt(ConfigReader.get("PERF_MIN_BASELINE_SAMPLES", "5"));
+		int minSamples = Integer.parseInt(ConfigReader.get("PERF_MIN_SAMPLES", "5"));
+		int minSlowSamples = Integer.parseInt(ConfigReader.get("PERF_MIN_SLOW_SAMPLES", "3"));
+
+		Map<String, Distribution> baseline = loadBaseline();
+
+		StringBuilder report = new StringBuilder();
+		report.append(String.format("tolerance=+%.0f%% p95, min delta=%dms, min samples=%d, min slow samples=%d%n%n",
+				tolerance * 100, minDelta, minSamples, minSlowSamples));
+		report.append(String.format("%-10s %10s %10s %8s %8s %5s  %s%n",
+				"status", "base p95", "run p95", "change", "samples", "slow", "key"));
+
+		int checked = 0;
+		int regressions = 0;
+		int noBaseline = 0;
+		int tooFew = 0;
+		for (Map.Entry<String, List<Long>> entry : new TreeMap<>(samples).entrySet()) {
+			Distribution base = baseline.get(entry.getKey());
+			List<Long> values = entry.getValue();
+			long runP95 = percentile(values, 0.95);
+
+			String status;
+			String change = "";
+			long baseP95 = 0;
+			long slow = 0;
+			if (base == null || base.samples.size() < minBaselineSamples) {
+				status = "no-base";
+				noBaseline++;
+			} else if (values.size() < minSamples) {
+				status = "too-few";
+				tooFew++;
+				baseP95 = percentile(base.samples, 0.95);
+			} else {
+				baseP95 = percentile(base.samples, 0.95);
+				long threshold = Math.max((long) (baseP95 * (1 + tolerance)), baseP95 + minDelta);
+				slow = values.stream().filter(v -> v > threshold).count();
+				change = baseP95 > 0 ? String.format("%+.0f%%", (runP95 - baseP95) * 100.0 / baseP95) : "";
+				checked++;
+				if (runP95 > threshold && slow >= minSlowSamples) {
+					status = "REGRESSED";
+					regressions++;
+				} else {
+					status = "ok";
+				}
+			}
+			report.append(String.format("%-10s %8dms %8dms %8s %8d %5d  %s%n",
+					status, baseP95, runP95, change, values.size(), slow, entry.getKey()));
+		}
+
+		Verdict verdict = checked == 0 ? Verdict.INCONCLUSIVE : regressions > 0 ? Verdict.FAILED : Verdict.PASSED;
+		String summary = verdict == Verdict.INCONCLUSIVE
+				? String.format("Performance gate %s: no key checked (%d without baseline, %d with fewer than %d samples)",
+						verdict, noBaseline, tooFew, minSamples)
+				: String.format("Performance gate %s: %d of %d checked keys regressed", verdict, regressions, checked);
+		report.insert(0, summary + "\n");
+
+		logger.info("{}\n{}", summary, report);
+		System.out.println("\n" + report);
+		writeReport(verdict, checked, regressions, report.toString());
+		reportToAllure(verdict, summary, report.toString());
+	}
+
+	private static void writeReport(Verdict verdict, int checked, int regressions, String report) {
+		File dir = new File(REPORT_DIR);
+		dir.mkdirs();
+		try (FileWriter verdictWriter = new FileWriter(new File(dir, "verdict.properties"));
+				FileWriter reportWriter = new FileWriter(new File(dir, "report.txt"))) {
+			verdictWriter.write("verdict=" + verdict + "\n");
+			verdictWriter.write("checked=" + checked + "\n");
+			verdictWriter.write("regressions=" + regressions + "\n");
+			reportWriter.write(report);
+		} catch (IOException e) {
+			logger.error("Failed to write performance report", e);
+		}
+	}
+
+	/**
+	 * Publishes the verdict as its own Allure result so it shows next to, not inside, the functional results.
+	 * An inconclusive gate checked nothing, so it is shown as skipped rather than passed.
+	 */
+	private static void reportToAllure(Verdict verdict, String summary, String report) {
+		String name = "Performance regression gate";
+		String uuid = UUID.randomUUID().toString();
+
+		AllureLifecycle lifecycle = Allure.getLifecycle();
+		lifecycle.scheduleTestCase(new TestResult()
+				.setUuid(uuid)
+				.setName(name)
+				.setFullName(name)
+				.setHistoryId(name)
+				.setStatus(verdict == Verdict.FAILED ? Status.FAILED
+						: verdict == Verdict.INCONCLUSIVE ? Status.SKIPPED : Status.PASSED)
+				.setStatusDetails(new StatusDetails().setMessage(summary))
+				.setLabels(new ArrayList<>(List.of(new Label().setName("suite").setValue("Performance")))));
+		lifecycle.startTestCase(uuid);
+		lifecycle.addAttachment("Performance report", "text/plain", ".txt", report.getBytes(StandardCharsets.UTF_8));
+		lifecycle.stopTestCase(uuid);
+		lifecycle.writeTestCase(uuid);
+	}
+
+	private static Map<String, Distribution> loadBaseline() {
+		File file = new File(BASELINE_FILE);
+		if (!file.exists()) return new TreeMap<>();
+		try {
+			return new ObjectMapper().readValue(file, new TypeReference<TreeMap<String, Distribution>>() {});
+		} catch (IOException e) {
+			logger.error("Failed to read performance baseline " + BASELINE_FILE, e);
+			return new TreeMap<>();
+		}
+	}
+
+	/**
+	 * Nearest-rank percentile.
+	 */
+	private static long percentile(List<Long> values, double p) {
+		if (values.isEmpty()) return 0;
+		List<Long> sorted = new ArrayList<>(values);
+		Collections.sort(sorted);
+		int rank = (int) Math.ceil(p * sorted.size());
+		return sorted.get(Math.max(rank - 1, 0));
+	}
+
+	/**
+	 * Stored duration samples (ms) of one key; p50/p95 are kept for readers of the file.
+	 */
+	public static class Distribution {
+		public List<Long> samples = new ArrayList<>();
+		public long p50;
+		public long p95;
+	}
+}
@@ -0,0 +1,171 @@
+package com.example.calculator.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Samples the CPU time, memory (RSS/PSS), thread and file-descriptor counts of a
+ * browser session's process tree (driver service plus browser processes) from
+ * /proc while the session runs. Linux only; elsewhere {@link #start} returns null.
+ *
+ * One sampler covers one session, so run totals add up: a scenario's own browser,
+ * or the whole tab pool when scenarios share a session.
+ */
+public class ResourceSampler {
+
+	private static final Logger logger = LoggerUtil.getLogger(ResourceSampler.class);
+	// USER_HZ is 100 on every mainstream Linux build; /proc/<pid>/stat reports CPU time in these ticks
+	private static final long CLOCK_TICKS_PER_SECOND = 100;
+
+	private static final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread t = new Thread(r, "resource-sampler");
+		t.setDaemon(true);
+		return t;
+	});
+
+	private final ProcessHandle root;
+	private final Map<Long, Long> cpuTicksAtStart = new HashMap<>();
+	private final Map<Long, Long> cpuTicksLatest = new HashMap<>();
+	private final ScheduledFuture<?> task;
+
+	private int samples;
+	private long peakRssKb;
+	private long peakPssKb;
+	private int peakThreads;
+	private int peakFds;
+	private int peakProcesses;
+
+	private ResourceSampler(ProcessHandle root, long intervalMillis) {
+		this.root = root;
+		sample();
+		this.task = sampler.scheduleAtFixedRate(this::sample, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Starts sampling the process tree under {@code root} every {@code intervalMillis}.
+	 *
+	 * @return the running sampler, or null if /proc is unavailable or sampling is disabled
+	 */
+	public static ResourceSampler start(ProcessHandle root, long intervalMillis) {
+		if (intervalMillis <= 0 || !new File("/proc/self/stat").exists()) return null;
+		return new ResourceSampler(root, intervalMillis);
+	}
+
+	/**
+	 * Takes a last sample, stops sampling and adds the figures to the run metrics.
+	 *
+	 * @return a human-readable summary for the report
+	 */
+	public synchronized String stop() {
+		task.cancel(false);
+		sample();
+
+		long cpuMillis = cpuMillis();
+		RunMetrics.increment("resources.sessions.sampled");
+		RunMetrics.add("resources.cpu.millis", cpuMillis);
+		RunMetrics.max("resources.rss.peak.kb", peakRssKb);
+		RunMetrics.max("resources.pss.peak.kb", peakPssKb);
+		RunMetrics.max("resources.threads.peak", peakThreads);
+		RunMetrics.max("resources.fds.peak", peakFds);
+		RunMetrics.max("resources.processes.peak", peakProcesses);
+
+		return String.format("Browser process tree (root pid %d), %d samples%n"
+				+ "CPU time:        %d ms%n"
+				+ "Peak RSS:        %d MB%n"
+				+ "Peak PSS:        %d MB%n"
+				+ "Peak threads:    %d%n"
+				+ "Peak open fds:   %d%n"
+				+ "Peak processes:  %d%n",
+				root.pid(), samples, cpuMillis, peakRssKb / 1024, peakPssKb / 1024, peakThreads, peakFds, peakProcesses);
+	}
+
+	private synchronized void sample() {
+		try {
+			List<ProcessHandle> tree = Stream.concat(Stream.of(root), root.descendants())
+					.filter(ProcessHandle::isAlive)
+					.collect(Collectors.toList());
+
+			long rssKb = 0, pssKb = 0;
+			int threads = 0, fds = 0, processes = 0;
+			for (ProcessHandle process : tree) {
+				Path proc = Paths.get("/proc", String.valueOf(process.pid()));
+				try {
+					long cpuTicks = readCpuTicks(proc);
+					cpuTicksAtStart.putIfAbsent(process.pid(), samples == 0 ? cpuTicks : 0);
+					cpuTicksLatest.put(process.pid(), cpuTicks);
+
+					Map<String, Long> status = readKeyValues(proc.resolve("status"));
+					rssKb += status.getOrDefault("VmRSS", 0L);
+					threads += status.getOrDefault("Threads", 0L);
+					pssKb += readKeyValues(proc.resolve("smaps_rollup")).getOrDefault("Pss", 0L);
+
+					String[] openFds = proc.resolve("fd").toFile().list();
+					fds += openFds != null ? openFds.length : 0;
+					processes++;
+				} catch (IOException e) {
+					// The process exited between listing and reading; its last CPU reading is kept
+				}
+			}
+
+			samples++;
+			peakRssKb = Math.max(peakRssKb, rssKb);
+			peakPssKb = Math.max(peakPssKb, pssKb);
+			peakThreads = Math.max(peakThreads, threads);
+			peakFds = Math.max(peakFds, fds);
+			peakProcesses = Math.max(peakProcesses, processes);
+		} catch (RuntimeException e) {
+			logger.warn("Resource sample failed: " + e.getMessage());
+		}
+	}
+
+	private long cpuMillis() {
+		long ticks = 0;
+		for (Map.Entry<Long, Long> entry : cpuTicksLatest.entrySet()) {
+			ticks += entry.getValue() - cpuTicksAtStart.getOrDefault(entry.getKey(), 0L);
+		}
+		return ticks * 1000 / CLOCK_TICKS_PER_SECOND;
+	}
+
+	/**
+	 * @return utime + stime from /proc/[pid]/stat
+	 */
+	private static long readCpuTicks(Path proc) throws IOException {
+		String stat = Files.readString(proc.resolve("stat"));
+		// The command name may contain spaces, so fields are counted from after its closing parenthesis
+		String[] fields = stat.substring(stat.lastIndexOf(')') + 2).split(" ");
+		return Long.parseLong(fields[11]) + Long.parseLong(fields[12]);
+	}
+
+	/**
+	 * Parses "Key:   value [kB]" lines (status, smaps_rollup) into numbers; missing files yield an empty map.
+	 */
+	private static Map<String, Long> readKeyValues(Path file) throws IOException {
+		Map<String, Long> values = new HashMap<>();
+		if (!Files.exists(file)) return values;
+		for (String line : Files.readAllLines(file)) {
+			int colon = line.indexOf(':');
+			if (colon < 0) continue;
+			String[] parts = line.substring(colon + 1).trim().split("\\s+");
+			try {
+				values.put(line.substring(0, colon), Long.parseLong(parts[0]));
+			} catch (NumberFormatException e) {
+				// Non-numeric entries (e.g. State, Name) are not needed
+			}
+		}
+		return values;
+	}
+}
@@ -0,0 +1,63 @@
+package com.example.calculator.utils;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Run-wide counters (e.g. watchdog rescues) written to target/run-metrics.properties
+ * when a Cucumber run finishes.
+ */
+public class RunMetrics {
+
+	private static final Logger logger = LoggerUtil.getLogger(RunMetrics.class);
+	private static final String METRICS_FILE = "target/run-metrics.properties";
+
+	private static final Map<String, AtomicLong> metrics = new ConcurrentHashMap<>();
+
+	public static void increment(String key) {
+		add(key, 1);
+	}
+
+	public static void add(String key, long value) {
+		metrics.computeIfAbsent(key, k -> new AtomicLong()).addAndGet(value);
+	}
+
+	/**
+	 * Keeps the largest value seen for the key.
+	 */
+	public static void max(String key, long value) {
+		metrics.computeIfAbsent(key, k -> new AtomicLong()).accumulateAndGet(value, Math::max);
+	}
+
+	public static long get(String key) {
+		AtomicLong value = metrics.get(key);
+		return value != null ? value.get() : 0;
+	}
+
+	/**
+	 * Logs all metrics and writes them, sorted by key, as key=value lines.
+	 * Synchronized because concurrent Cucumber runtimes (one per browser) each write on finish.
+	 */
+	public static synchronized void write() {
+		Map<String, Long> snapshot = new TreeMap<>();
+		metrics.forEach((k, v) -> snapshot.put(k, v.get()));
+		logger.info("Run metrics: {}", snapshot);
+
+		File file = new File(METRICS_FILE);
+		file.getParentFile().mkdirs();
+		try (FileWriter writer = new FileWriter(file)) {
+			for (Map.Entry<String, Long> entry : snapshot.entrySet()) {
+				writer.write(entry.getKey() + "=" + entry.getValue() + "\n");
+			}
+		} catch (IOException e) {
+			logger.error("Failed to write run metrics", e);
+		}
+	}
+}
@@ -0,0 +1,273 @@
+package com.example.calculator.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Lightweight in-process tracer. Spans are timed with {@link System#nanoTime()}
+ * anchored to the wall clock, collected in memory and exported per run as
+ * Chrome trace-event JSON (chrome://tracing, Perfetto, speedscope) and OTLP-JSON.
+ *
+ * Spans started with {@link #start(String, String)} nest under the span currently
+ * open on the same thread, so waits and WebDriver calls land under their step.
+ */
+public class TraceUtil {
+
+	private static final Logger logger = LoggerUtil.getLogger(TraceUtil.class);
+
+	private static final long EPOCH_ANCHOR_NANOS;
+	private static final long NANO_ANCHOR = System.nanoTime();
+
+	static {
+		Instant now = Instant.now();
+		EPOCH_ANCHOR_NANOS = now.getEpochSecond() * 1_000_000_000L + now.getNano();
+	}
+
+	// Finished spans per trace id, so exporting one run does not scan the others
+	private static final Map<String, Queue<Span>> finished = new ConcurrentHashMap<>();
+	private static final ThreadLocal<Deque<Span>> open = ThreadLocal.withInitial(ArrayDeque::new);
+	// Worker threads spawned by a run inherit its root, so their spans stay in the same trace
+	private static final InheritableThreadLocal<Span> root = new InheritableThreadLocal<>();
+
+	/**
+	 * @return wall-clock time in nanoseconds since the epoch, with nanoTime resolution
+	 */
+	public static long now() {
+		return EPOCH_ANCHOR_NANOS + (System.nanoTime() - NANO_ANCHOR);
+	}
+
+	/**
+	 * Starts a new trace. The returned span becomes the fallback parent for this
+	 * thread and for threads it creates afterwards.
+	 */
+	public static Span startRoot(String name, String category) {
+		Span span = new Span(name, category, null);
+		root.set(span);
+		return span;
+	}
+
+	/**
+	 * Starts a span under an explicit parent without making it the thread's current span.
+	 */
+	public static Span startDetached(String name, String category, Span parent) {
+		return new Span(name, category, parent);
+	}
+
+	/**
+	 * Starts a span under the thread's current span (or the run root) and makes it current.
+	 */
+	public static Span start(String name, String category) {
+		Deque<Span> stack = open.get();
+		return start(name, category, stack.isEmpty() ? root.get() : stack.peek());
+	}
+
+	/**
+	 * Starts a span under an explicit parent and makes it the thread's current span.
+	 */
+	public static Span start(String name, String category, Span parent) {
+		Span span = new Span(name, category, parent);
+		open.get().push(span);
+		return span;
+	}
+
+	/**
+	 * Writes every finished span of the given trace to
+	 * {@code <dir>/<baseName>-chrome.json} and {@code <dir>/<baseName>-otlp.json}.
+	 */
+	public static void export(String traceId, String dir, String baseName) {
+		Queue<Span> queue = finished.remove(traceId);
+		if (queue == null || queue.isEmpty()) return;
+		List<Span> spans = queue.stream()
+				.sorted((a, b) -> Long.compare(a.startNanos, b.startNanos))
+				.collect(Collectors.toList());
+
+		File outDir = new File(dir);
+		outDir.mkdirs();
+		ObjectMapper mapper = new ObjectMapper();
+		try {
+			mapper.writeValue(new File(outDir, baseName + "-chrome.json"), toChromeTrace(spans));
+			mapper.writeValue(new File(outDir, baseName + "-otlp.json"), toOtlp(spans));
+			logger.info("Exported {} spans to {}/{}-*.json", spans.size(), dir, baseName);
+		} catch (IOException e) {
+			logger.error("Failed to export trace " + traceId, e);
+		}
+	}
+
+	private static Map<String, Object> toChromeTrace(List<Span> spans) {
+		// Timestamps are relative to the first span so microsecond doubles keep nanosecond digits
+		long origin = spans.get(0).startNanos;
+		List<Map<String, Object>> events = new ArrayList<>();
+		Map<Long, String> threads = new LinkedHashMap<>();
+
+		for (Span span : spans) {
+			threads.putIfAbsent(span.threadId, span.threadName);
+			Map<String, Object> args = span.attributes();
+			if (span.error != null) args.put("error", span.error);
+
+			Map<String, Object> event = new LinkedHashMap<>();
+			event.put("name", span.name);
+			event.put("cat", span.category);
+			event.put("ph", "X");
+			event.put("ts", (span.startNanos - origin) / 1000.0);
+			event.put("dur", (span.endNanos - span.startNanos) / 1000.0);
+			event.put("pid", 1);
+			event.put("tid", span.threadId);
+			event.put("args", args);
+			events.add(event);
+		}
+		for (Map.Entry<Long, String> thread : threads.entrySet()) {
+			Map<String, Object> event = new LinkedHashMap<>();
+			event.put("name", "thread_name");
+			event.put("ph", "M");
+			event.put("pid", 1);
+			event.put("tid", thread.getKey());
+			event.put("args", Map.of("name", thread.getValue()));
+			events.add(event);
+		}
+
+		Map<String, Object> trace = new LinkedHashMap<>();
+		trace.put("traceEvents", events);
+		trace.put("displayTimeUnit", "ns");
+		trace.put("otherData", Map.of("traceId", spans.get(0).traceId, "originUnixNano", String.valueOf(origin)));
+		return trace;
+	}
+
+	private static Map<String, Object> toOtlp(List<Span> spans) {
+		List<Map<String, Object>> otlpSpans = new ArrayList<>();
+		for (Span span : spans) {
+			List<Map<String, Object>> attributes = new ArrayList<>();
+			span.attributes().forEach((k, v) -> attributes.add(otlpAttribute(k, v)));
+			attributes.add(otlpAttribute("thread.name", span.threadName));
+			attributes.add(otlpAttribute("span.category", span.category));
+
+			Map<String, Object> status = new LinkedHashMap<>();
+			status.put("code", span.error == null ? 1 : 2);
+			if (span.error != null) status.put("message", span.error);
+
+			Map<String, Object> otlp = new LinkedHashMap<>();
+			otlp.put("traceId", span.traceId);
+			otlp.put("spanId", span.spanId);
+			if (span.parentSpanId != null) otlp.put("parentSpanId", span.parentSpanId);
+			otlp.put("name", span.name);
+			otlp.put("kind", 1);
+			otlp.put("startTimeUnixNano", String.valueOf(span.startNanos));
+			otlp.put("endTimeUnixNano", String.valueOf(span.endNanos));
+			otlp.put("attributes", attributes);
+			otlp.put("status", status);
+			otlpSpans.add(otlp);
+		}
+
+		Map<String, Object> scopeSpans = new LinkedHashMap<>();
+		scopeSpans.put("scope", Map.of("name", "com.example.calculator"));
+		scopeSpans.put("spans", otlpSpans);
+
+		Map<String, Object> resourceSpans = new LinkedHashMap<>();
+		resourceSpans.put("resource", Map.of("attributes",
+				List.of(otlpAttribute("service.name", "calculator-test-demo-jenkins"))));
+		resourceSpans.put("scopeSpans", List.of(scopeSpans));
+
+		return Map.of("resourceSpans", List.of(resourceSpans));
+	}
+
+	private static Map<String, Object> otlpAttribute(String key, Object value) {
+		Map<String, Object> typed;
+		if (value instanceof Integer || value instanceof Long) {
+			typed = Map.of("intValue", String.valueOf(value));
+		} else if (value instanceof Number) {
+			typed = Map.of("doubleValue", value);
+		} else if (value instanceof Boolean) {
+			typed = Map.of("boolValue", value);
+		} else {
+			typed = Map.of("stringValue", String.valueOf(value));
+		}
+		return Map.of("key", key, "value", typed);
+	}
+
+	private static String randomHex(int bytes) {
+		StringBuilder sb = new StringBuilder(bytes * 2);
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		for (int i = 0; i < bytes; i++) {
+			sb.append(String.format("%02x", random.nextInt(256)));
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * A timed unit of work. Call {@link #end()} exactly once, typically in a finally block.
+	 */
+	public static class Span implements AutoCloseable {
+		private final String name;
+		private final String category;
+		private final String traceId;
+		private final String spanId = randomHex(8);
+		private final String parentSpanId;
+		private final long threadId;
+		private final String threadName;
+		private final Map<String, Object> attributes = new LinkedHashMap<>();
+		private final long startNanos = now();
+		private volatile long endNanos;
+		private volatile String error;
+
+		private Span(String name, String category, Span parent) {
+			this.name = name;
+			this.category = category;
+			this.traceId = parent != null ? parent.traceId : randomHex(16);
+			this.parentSpanId = parent != null ? parent.spanId : null;
+			this.threadId = Thread.currentThread().getId();
+			this.threadName = Thread.currentThread().getName();
+		}
+
+		public String getTraceId() {
+			return traceId;
+		}
+
+		public synchronized Span attr(String key, Object value) {
+			attributes.put(key, value);
+			return this;
+		}
+
+		private synchronized Map<String, Object> attributes() {
+			return new LinkedHashMap<>(attributes);
+		}
+
+		public Span error(Throwable t) {
+			this.error = t.getClass().getSimpleName() + ": " + t.getMessage();
+			return this;
+		}
+
+		public void end() {
+			endAt(now());
+		}
+
+		/**
+		 * Ends the span at an explicit time, for spans whose end is only known afterwards.
+		 */
+		public synchronized void endAt(long nanos) {
+			if (endNanos != 0) return;
+			endNanos = nanos;
+			open.get().remove(this);
+			finished.computeIfAbsent(traceId, id -> new ConcurrentLinkedQueue<>()).add(this);
+		}
+
+		@Override
+		public void close() {
+			end();
+		}
+	}
+}
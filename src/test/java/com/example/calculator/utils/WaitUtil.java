@@ -10,9 +10,14 @@ import org.openqa.selenium.support.ui.Wait;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 public class WaitUtil {
 
+    // WebDriverWait polls every 500 ms unless told otherwise
+    private static final long DEFAULT_POLLING_MILLIS = 500;
+
     private final WebDriver driver;
 
     public WaitUtil(WebDriver driver) {
@@ -21,22 +26,26 @@ public class WaitUtil {
 
     public WebElement waitForElementVisible(By locator, long timeout) {
         WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeout));
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        return traced("wait: visible", locator, timeout, DEFAULT_POLLING_MILLIS, wait,
+                ExpectedConditions.visibilityOfElementLocated(locator));
     }
 
     public WebElement waitForElementClickable(By locator, long timeout) {
         WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeout));
-        return wait.until(ExpectedConditions.elementToBeClickable(locator));
+        return traced("wait: clickable", locator, timeout, DEFAULT_POLLING_MILLIS, wait,
+                ExpectedConditions.elementToBeClickable(locator));
     }
 
     public boolean waitForTextPresent(By locator, String text, long timeout) {
         WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeout));
-        return wait.until(ExpectedConditions.textToBePresentInElementLocated(locator, text));
+        return traced("wait: text present", locator, timeout, DEFAULT_POLLING_MILLIS, wait,
+                ExpectedConditions.textToBePresentInElementLocated(locator, text));
     }
 
     public void waitForUrlContains(String partialUrl, long timeout) {
         WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeout));
-        wait.until(ExpectedConditions.urlContains(partialUrl));
+        traced("wait: url contains", partialUrl, timeout, DEFAULT_POLLING_MILLIS, wait,
+                ExpectedConditions.urlContains(partialUrl));
     }
 
     public WebElement fluentWait(final By locator, long timeout, long pollingTime) {
@@ -44,14 +53,38 @@ public class WaitUtil {
                 .withTimeout(Duration.ofSeconds(timeout))
                 .pollingEvery(Duration.ofMillis(pollingTime))
                 .ignoring(NoSuchElementException.class);
-        return fluentWait.until(d -> d.findElement(locator));
+        return traced("wait: fluent", locator, timeout, pollingTime, fluentWait, d -> d.findElement(locator));
     }
-    
+
     public boolean waitForUrlToBe(String url, long timeout) {
     	WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeout));
-        return wait.until(d -> {
+        return traced("wait: url to be", url, timeout, DEFAULT_POLLING_MILLIS, wait, d -> {
             String currentUrl = d.getCurrentUrl();
             return currentUrl.replaceAll("/$", "").equals(url.replaceAll("/$", "")); // remove trailing slash before comparing
         });
     }
+
+    /**
+     * Runs the wait inside a trace span recording the target, timeout and how many times the condition was polled.
+     */
+    private <T> T traced(String name, Object target, long timeout, long pollingMillis,
+            Wait<WebDriver> wait, Function<WebDriver, T> condition) {
+        TraceUtil.Span span = TraceUtil.start(name, "wait")
+                .attr("locator", String.valueOf(target))
+                .attr("timeout.seconds", timeout)
+                .attr("polling.millis", pollingMillis);
+        AtomicInteger polls = new AtomicInteger();
+        try {
+            return wait.until(d -> {
+                polls.incrementAndGet();
+                return condition.apply(d);
+            });
+        } catch (RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.attr("polls", polls.get());
+            span.end();
+        }
+    }
 }
@@ -1,15 +1,135 @@
 package com.example.calculator_manager;
 
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
 
+import com.example.calculator.utils.ConfigReader;
+import com.example.calculator.utils.LoggerUtil;
+import com.example.calculator.utils.ResourceSampler;
+
+/**
+ * Holds the driver (and, in cross-browser mode, the browser) of the thread
+ * running the current scenario. Each cross-browser variant runs on its own
+ * thread, so both values are thread-local.
+ *
+ * In tab fan-out mode scenarios share one browser session: each scenario
+ * leases a tab of that session and gets back a driver bound to it. The shared
+ * session's resources are sampled once for the whole pool, not per scenario.
+ */
 public class DriverManager {
-	private static WebDriver driver;
-	
+	private static final Logger logger = LoggerUtil.getLogger(DriverManager.class);
+	private static final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
+	private static final ThreadLocal<String> browser = new ThreadLocal<>();
+	private static final ThreadLocal<TabPool.Tab> leasedTab = new ThreadLocal<>();
+
+	private static volatile int tabPoolSize;
+	private static TabPool tabPool;
+	private static ResourceSampler tabPoolSampler;
+
 	public static WebDriver getDriver() {
-		return driver;
+		return driver.get();
 	}
-	
+
 	public static void setDriver(WebDriver driverInstance) {
-		driver = driverInstance;
+		driver.set(driverInstance);
+	}
+
+	/**
+	 * @return the browser pinned to this thread by the cross-browser runner, or null
+	 */
+	public static String getBrowser() {
+		return browser.get();
+	}
+
+	public static void setBrowser(String browserName) {
+		browser.set(browserName);
+	}
+
+	public static void clear() {
+		driver.remove();
+		browser.remove();
+	}
+
+	/**
+	 * Switches scenarios to leasing tabs of one shared session instead of starting a browser each.
+	 *
+	 * @param size number of tabs, i.e. how many scenarios can hold one at the same time
+	 */
+	public static void enableTabPool(int size) {
+		tabPoolSize = size;
+	}
+
+	public static boolean isTabPoolEnabled() {
+		return tabPoolSize > 0;
+	}
+
+	/**
+	 * Leases a free tab for the calling thread, blocking until one is available.
+	 * The shared session is started with {@code sessionFactory} on first use.
+	 *
+	 * @return a driver whose every call acts on the leased tab
+	 */
+	public static WebDriver leaseTab(Supplier<WebDriver> sessionFactory) {
+		TabPool pool;
+		synchronized (DriverManager.class) {
+			if (tabPool == null) {
+				tabPool = new TabPool(sessionFactory.get(), tabPoolSize);
+				long sampleInterval = Long.parseLong(ConfigReader.get("RESOURCE_SAMPLE_INTERVAL_MS", "500"));
+				tabPoolSampler = tabPool.getDriverProcess()
+						.map(process -> ResourceSampler.start(process, sampleInterval))
+						.orElse(null);
+			}
+			pool = tabPool;
+		}
+		TabPool.Tab tab = pool.lease();
+		leasedTab.set(tab);
+		return tab.getDriver();
+	}
+
+	/**
+	 * Hands the calling thread's tab back to the pool.
+	 */
+	public static void releaseTab() {
+		TabPool.Tab tab = leasedTab.get();
+		if (tab != null) {
+			tab.release();
+			leasedTab.remove();
+		}
+	}
+
+	/**
+	 * Kills a hung shared session; the next lease starts a fresh one.
+	 * Scenarios still holding tabs of the killed session will fail.
+	 *
+	 * @param tabDriver the hung scenario's tab; nothing is killed if it was already
+	 *                  released or belongs to a session that was replaced since
+	 */
+	public static synchronized void abandonTabPool(WebDriver tabDriver) {
+		if (tabPool != null && tabPool.owns(tabDriver)) {
+			stopTabPoolSampler();
+			tabPool.kill();
+			tabPool = null;
+		}
+	}
+
+	/**
+	 * Quits the shared session and leaves tab fan-out mode.
+	 */
+	public static synchronized void closeTabPool() {
+		if (tabPool != null) {
+			stopTabPoolSampler();
+			tabPool.close();
+			tabPool = null;
+		}
+		tabPoolSize = 0;
+	}
+
+	private static void stopTabPoolSampler() {
+		if (tabPoolSampler != null) {
+			logger.info("Shared session resources:\n{}", tabPoolSampler.stop());
+			tabPoolSampler = null;
+		}
 	}
 }
@@ -0,0 +1,143 @@
+package com.example.calculator_manager;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import com.example.calculator.factory.WebDriverFactory;
+import com.example.calculator.utils.RunMetrics;
+
+/**
+ * A single browser session split into tabs that scenarios lease one at a time.
+ * A WebDriver session only talks to one window at a time, so every call made
+ * through a leased tab takes the session lock and switches to its own window first.
+ */
+class TabPool {
+
+	private final WebDriver session;
+	private final BlockingQueue<String> freeTabs = new LinkedBlockingQueue<>();
+	// Not fair: a fair lock hands the session to the next tab on every command, so almost
+	// every call paid a window switch; barging lets a busy tab run several commands in a row
+	private final ReentrantLock sessionLock = new ReentrantLock();
+	// Drivers of the tabs currently leased, compared by identity
+	private final Set<WebDriver> leased = Collections.newSetFromMap(Collections.synchronizedMap(new IdentityHashMap<>()));
+	private volatile String currentHandle;
+
+	TabPool(WebDriver session, int size) {
+		this.session = session;
+		freeTabs.add(session.getWindowHandle());
+		for (int i = 1; i < size; i++) {
+			session.switchTo().newWindow(WindowType.TAB);
+			freeTabs.add(session.getWindowHandle());
+		}
+		currentHandle = session.getWindowHandle();
+	}
+
+	/**
+	 * Blocks until a tab is free and returns it bound to the calling scenario.
+	 */
+	Tab lease() {
+		try {
+			String handle = freeTabs.take();
+			WebDriver driver = new EventFiringDecorator<WebDriver>(new TabOwnership(handle)).decorate(session);
+			leased.add(driver);
+			return new Tab(this, handle, driver);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for a free tab", e);
+		}
+	}
+
+	/**
+	 * @return true if {@code driver} is a tab of this session that is still leased
+	 */
+	boolean owns(WebDriver driver) {
+		return leased.contains(driver);
+	}
+
+	/**
+	 * @return the driver service process behind the shared session, if it is known
+	 */
+	Optional<ProcessHandle> getDriverProcess() {
+		return WebDriverFactory.getDriverProcess(session);
+	}
+
+	void close() {
+		session.quit();
+	}
+
+	/**
+	 * Kills the browser behind the session, for sessions that stopped responding.
+	 */
+	void kill() {
+		WebDriverFactory.killProcessTree(session);
+	}
+
+	/**
+	 * A leased tab: its window handle plus a driver that always acts on that window.
+	 */
+	static class Tab {
+		private final TabPool pool;
+		private final String handle;
+		private final WebDriver driver;
+
+		private Tab(TabPool pool, String handle, WebDriver driver) {
+			this.pool = pool;
+			this.handle = handle;
+			this.driver = driver;
+		}
+
+		WebDriver getDriver() {
+			return driver;
+		}
+
+		void release() {
+			pool.leased.remove(driver);
+			pool.freeTabs.add(handle);
+		}
+	}
+
+	/**
+	 * Holds the session lock for the duration of each call and makes the owner's window current.
+	 */
+	private class TabOwnership implements WebDriverListener {
+		private final String handle;
+
+		TabOwnership(String handle) {
+			this.handle = handle;
+		}
+
+		@Override
+		public void beforeAnyCall(Object target, Method method, Object[] args) {
+			// Released in afterAnyCall/onError, which the decorator calls even if switching fails here
+			sessionLock.lock();
+			RunMetrics.increment("tabs.commands");
+			if (!handle.equals(currentHandle)) {
+				RunMetrics.increment("tabs.window.switches");
+				session.switchTo().window(handle);
+				currentHandle = handle;
+			}
+		}
+
+		@Override
+		public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+			sessionLock.unlock();
+		}
+
+		@Override
+		public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+			sessionLock.unlock();
+		}
+	}
+}